@@ -73,6 +73,25 @@ public class PorterStemmerEn {
         return new String(b, 0, i_end);
     }
 
+    /**
+     * Возвращает длину обработанного слова.
+     *
+     * @return длина основы после вызова stem()
+     */
+    public int getResultLength() {
+        return i_end;
+    }
+
+    /**
+     * Возвращает ссылку на внутренний буфер без копирования.
+     * Основа слова находится в диапазоне [0, getResultLength()).
+     *
+     * @return буфер символов
+     */
+    public char[] getResultBuffer() {
+        return b;
+    }
+
     /**
      * Проверяет, является ли символ согласной.
      *
@@ -0,0 +1,187 @@
+package org.javakov.algorithm;
+
+import java.util.Set;
+
+public class StemmedShingler {
+    /**
+     * Язык, для которого выполняется стеммирование.
+     */
+    public enum Language {EN, RU}
+
+    /**
+     * Основание полиномиального хеша шингла.
+     */
+    private static final long BASE = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Начальное значение хеша FNV-1a для отдельной основы.
+     */
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+
+    /**
+     * Простое число FNV-1a.
+     */
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    /**
+     * Язык входного текста.
+     */
+    private final Language language;
+
+    /**
+     * Стеммер для английского языка (используется только для EN).
+     */
+    private final PorterStemmerEn stemmerEn;
+
+    /**
+     * Множество стоп-слов в нижнем регистре.
+     */
+    private final Set<String> stopwords;
+
+    /**
+     * Кольцевой буфер хешей последних n основ.
+     */
+    private final long[] ring;
+
+    /**
+     * BASE в степени (n - 1), нужна для удаления старой основы из хеша.
+     */
+    private final long topPower;
+
+    /**
+     * Позиция самой старой основы в кольцевом буфере.
+     */
+    private int head;
+
+    /**
+     * Количество основ в буфере (не больше n).
+     */
+    private int count;
+
+    /**
+     * Текущий скользящий хеш шингла.
+     */
+    private long hash;
+
+    /**
+     * Конструктор без фильтрации стоп-слов.
+     *
+     * @param language язык текста
+     * @param n        количество слов в шингле
+     */
+    public StemmedShingler(Language language, int n) {
+        this(language, n, Set.of());
+    }
+
+    /**
+     * Конструктор инициализирует кольцевой буфер размером n.
+     *
+     * @param language  язык текста
+     * @param n         количество слов в шингле
+     * @param stopwords стоп-слова в нижнем регистре, которые пропускаются до стеммирования
+     */
+    public StemmedShingler(Language language, int n, Set<String> stopwords) {
+        if (n < 1) throw new IllegalArgumentException("n must be positive: " + n);
+        this.language = language;
+        this.stemmerEn = language == Language.EN ? new PorterStemmerEn() : null;
+        this.stopwords = stopwords;
+        this.ring = new long[n];
+        long p = 1;
+        for (int c = 1; c < n; c++) p *= BASE;
+        this.topPower = p;
+    }
+
+    /**
+     * Добавляет очередное слово потока. Слово приводится к нижнему регистру,
+     * стоп-слова пропускаются, остальные стеммируются и сдвигают окно шингла.
+     *
+     * @param word слово исходного текста
+     * @return true, если после добавления готов новый шингл (см. hash())
+     */
+    public boolean add(String word) {
+        if (word.isEmpty()) return false;
+        String lower = word.toLowerCase();
+        if (stopwords.contains(lower)) return false;
+
+        long h;
+        if (language == Language.EN) {
+            stemmerEn.add(lower.toCharArray(), lower.length());
+            stemmerEn.stem();
+            h = hashStem(stemmerEn.getResultBuffer(), stemmerEn.getResultLength());
+        } else {
+            String stem = PorterStemmerRu.stem(lower);
+            h = hashStem(stem);
+        }
+        return push(h);
+    }
+
+    /**
+     * Возвращает хеш последнего готового шингла.
+     *
+     * @return 64-битный хеш n последовательных основ
+     */
+    public long hash() {
+        return hash;
+    }
+
+    /**
+     * Сбрасывает окно, например на границе документа.
+     */
+    public void reset() {
+        head = 0;
+        count = 0;
+        hash = 0;
+    }
+
+    /**
+     * Сдвигает окно на одну основу и пересчитывает хеш за O(1):
+     * H = (H - h_old * BASE^(n-1)) * BASE + h_new.
+     *
+     * @param h хеш новой основы
+     * @return true, если окно заполнено
+     */
+    private boolean push(long h) {
+        int n = ring.length;
+        if (count == n) {
+            hash -= ring[head] * topPower;
+            ring[head] = h;
+            head = (head + 1) % n;
+        } else {
+            ring[(head + count) % n] = h;
+            count++;
+        }
+        hash = hash * BASE + h;
+        return count == n;
+    }
+
+    /**
+     * Вычисляет хеш FNV-1a для основы в буфере.
+     *
+     * @param b   буфер символов
+     * @param len длина основы
+     * @return 64-битный хеш основы
+     */
+    private static long hashStem(char[] b, int len) {
+        long h = FNV_OFFSET;
+        for (int c = 0; c < len; c++) {
+            h ^= b[c];
+            h *= FNV_PRIME;
+        }
+        return h;
+    }
+
+    /**
+     * Вычисляет хеш FNV-1a для основы в строке.
+     *
+     * @param s основа
+     * @return 64-битный хеш основы
+     */
+    private static long hashStem(String s) {
+        long h = FNV_OFFSET;
+        for (int c = 0; c < s.length(); c++) {
+            h ^= s.charAt(c);
+            h *= FNV_PRIME;
+        }
+        return h;
+    }
+}